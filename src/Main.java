@@ -1,5 +1,11 @@
 import functions.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 public class Main {
     public static void main(String[] args) {
         try {
@@ -15,6 +21,30 @@ public class Main {
             System.out.println("\n=== ТЕСТИРОВАНИЕ ГРАНИЧНЫХ СЛУЧАЕВ ===");
             testBoundaryCases();
 
+            // Тестирование адаптивной реализации
+            System.out.println("\n=== ТЕСТИРОВАНИЕ ADAPTIVETABULATEDFUNCTION ===");
+            testAdaptiveFunction();
+
+            // Тестирование кэширования значений
+            System.out.println("\n=== ТЕСТИРОВАНИЕ CACHEDTABULATEDFUNCTION ===");
+            testCachedFunction();
+
+            // Нагрузочное тестирование пакетного вычислителя
+            System.out.println("\n=== НАГРУЗОЧНОЕ ТЕСТИРОВАНИЕ BATCHINGFUNCTIONEVALUATOR ===");
+            testBatchingEvaluator();
+
+            // Тестирование ленивых операций над функциями
+            System.out.println("\n=== ТЕСТИРОВАНИЕ LAZYFUNCTION ===");
+            testLazyFunction();
+
+            // Сравнение точности сплайна и линейной интерполяции
+            System.out.println("\n=== ТЕСТИРОВАНИЕ CUBICSPLINETABULATEDFUNCTION ===");
+            testCubicSpline();
+
+            // Тестирование двумерной функции
+            System.out.println("\n=== ТЕСТИРОВАНИЕ ARRAYTABULATEDFUNCTION2D ===");
+            testFunction2D();
+
         } catch (Exception e) {
             System.out.println("Ошибка: " + e.getMessage());
             e.printStackTrace();
@@ -126,6 +156,278 @@ public class Main {
         System.out.println("Объяснение: значение очень близко к правой границе, поэтому возвращается Y последней точки");
     }
 
+    private static void testAdaptiveFunction() throws InappropriateFunctionPointException {
+        // Загрузка истории в обратном порядке (вставка в начало), затем случайное чтение
+        System.out.println("Вставка в начало + случайное чтение:");
+        long arrayTime = runPrependThenRead(new ArrayTabulatedFunction(1e6, 1e6 + 1, 2));
+        long listTime = runPrependThenRead(new LinkedListTabulatedFunction(1e6, 1e6 + 1, 2));
+        AdaptiveTabulatedFunction adaptive = new AdaptiveTabulatedFunction(1e6, 1e6 + 1, 2);
+        adaptive.setSwitchListener((from, to, reads, writes) ->
+                System.out.printf("  Переключение: %s -> %s (чтений: %d, изменений: %d)%n",
+                        from.getSimpleName(), to.getSimpleName(), reads, writes));
+        long adaptiveTime = runPrependThenRead(adaptive);
+        System.out.printf("  Array: %d мс, LinkedList: %d мс, Adaptive: %d мс%n",
+                arrayTime / 1_000_000, listTime / 1_000_000, adaptiveTime / 1_000_000);
+
+        // Случайные вставки и удаления: список медленнее, адаптивная функция должна остаться на массиве
+        System.out.println("Случайные вставки и удаления:");
+        arrayTime = runRandomInsertDelete(new ArrayTabulatedFunction(0, 1, 2));
+        adaptive = new AdaptiveTabulatedFunction(0, 1, 2);
+        adaptiveTime = runRandomInsertDelete(adaptive);
+        System.out.printf("  Array: %d мс, Adaptive: %d мс, итоговая реализация: %s, переключений: %d%n",
+                arrayTime / 1_000_000, adaptiveTime / 1_000_000,
+                adaptive.getImplementation().getSimpleName(), adaptive.getSwitchCount());
+    }
+
+    private static long runPrependThenRead(TabulatedFunction func) throws InappropriateFunctionPointException {
+        int count = 30000;
+        long startTime = System.nanoTime();
+        for (int i = 1; i <= count; i++) {
+            func.addPoint(new FunctionPoint(1e6 - i, i));
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += func.getPointY((int) (Math.random() * func.getPointsCount()));
+        }
+        long elapsed = System.nanoTime() - startTime;
+        if (Double.isNaN(sum)) {
+            System.out.println("Некорректная сумма");
+        }
+        return elapsed;
+    }
+
+    private static long runRandomInsertDelete(TabulatedFunction func) throws InappropriateFunctionPointException {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < 10000; i++) {
+            try {
+                func.addPoint(new FunctionPoint(Math.random(), i));
+            } catch (InappropriateFunctionPointException e) {
+                // Совпадение X маловероятно, такую точку просто пропускаем
+            }
+        }
+        for (int i = 0; i < 5000; i++) {
+            func.deletePoint((int) (Math.random() * func.getPointsCount()));
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static void testCachedFunction() {
+        double[] values = new double[10000];
+        for (int i = 0; i < values.length; i++) {
+            double x = 10.0 * i / (values.length - 1);
+            values[i] = x * x;
+        }
+        CachedTabulatedFunction func = new CachedTabulatedFunction(new LinkedListTabulatedFunction(0, 10, values), 16);
+
+        // Многократное вычисление в нескольких рабочих точках
+        double[] hotX = {1.25, 2.5, 5.0, 7.75};
+        for (int i = 0; i < 1000; i++) {
+            func.getFunctionValue(hotX[i % hotX.length]);
+        }
+        System.out.printf("Попаданий: %d, промахов: %d%n", func.getHitCount(), func.getMissCount());
+
+        // После изменения точки кэш должен быть сброшен
+        func.setPointY(500, -1.0);
+        func.resetStatistics();
+        func.getFunctionValue(hotX[0]);
+        System.out.printf("После изменения: попаданий: %d, промахов: %d%n", func.getHitCount(), func.getMissCount());
+
+        // Изменение через собственную ссылку на таблицу, в обход кэша
+        ArrayTabulatedFunction base = new ArrayTabulatedFunction(0, 1, new double[]{0, 1});
+        CachedTabulatedFunction cached = new CachedTabulatedFunction(base);
+        cached.getFunctionValue(0.5);
+        base.setPointY(1, 100);
+        System.out.printf("После изменения исходной таблицы: f(0.5) = %.1f (ожидалось: 50.0)%n", cached.getFunctionValue(0.5));
+    }
+
+    private static void testBatchingEvaluator() throws Exception {
+        double[] values = new double[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.sin(10.0 * i / (values.length - 1));
+        }
+        ArrayTabulatedFunction func = new ArrayTabulatedFunction(0, 10, values);
+
+        int clients = 1000;
+        int requestsPerClient = 20;
+        int pointsPerRequest = 4;
+
+        // Прямые вызовы getFunctionValue из виртуальных потоков
+        long startTime = System.nanoTime();
+        runClients(clients, () -> {
+            for (int r = 0; r < requestsPerClient; r++) {
+                for (int p = 0; p < pointsPerRequest; p++) {
+                    func.getFunctionValue(Math.random() * 10);
+                }
+            }
+        });
+        long directTime = System.nanoTime() - startTime;
+
+        // Те же вычисления через пакетный вычислитель с виртуальным рабочим потоком
+        try (BatchingFunctionEvaluator evaluator =
+                     new BatchingFunctionEvaluator(func, 256, 50, Thread.ofVirtual().factory())) {
+            startTime = System.nanoTime();
+            runClients(clients, () -> {
+                CompletableFuture<?>[] futures = new CompletableFuture<?>[pointsPerRequest];
+                for (int r = 0; r < requestsPerClient; r++) {
+                    for (int p = 0; p < pointsPerRequest; p++) {
+                        futures[p] = evaluator.evaluateAsync(Math.random() * 10);
+                    }
+                    for (CompletableFuture<?> future : futures) {
+                        future.join();
+                    }
+                }
+            });
+            long batchedTime = System.nanoTime() - startTime;
+
+            System.out.printf("Прямые вызовы (%d виртуальных потоков): %d мс%n", clients, TimeUnit.NANOSECONDS.toMillis(directTime));
+            System.out.printf("Пакетный вычислитель (%d виртуальных потоков): %d мс%n", clients, TimeUnit.NANOSECONDS.toMillis(batchedTime));
+
+            // Проверка совпадения результатов
+            double maxError = 0;
+            for (int i = 0; i < 1000; i++) {
+                double x = Math.random() * 10;
+                maxError = Math.max(maxError, Math.abs(evaluator.evaluateAsync(x).join() - func.getFunctionValue(x)));
+            }
+            System.out.printf("Максимальное расхождение с getFunctionValue: %.3e%n", maxError);
+        }
+
+        // Функции без пакетного прохода вычисляются собственным getFunctionValue
+        CubicSplineTabulatedFunction spline = new CubicSplineTabulatedFunction(0, Math.PI, new double[]{0, 1, 0});
+        try (BatchingFunctionEvaluator evaluator = new BatchingFunctionEvaluator(spline)) {
+            System.out.printf("Сплайн: getFunctionValue(0.7) = %.4f, evaluateAsync(0.7) = %.4f%n",
+                    spline.getFunctionValue(0.7), evaluator.evaluateAsync(0.7).join());
+        }
+        CachedTabulatedFunction cached = new CachedTabulatedFunction(func);
+        try (BatchingFunctionEvaluator evaluator = new BatchingFunctionEvaluator(cached)) {
+            evaluator.evaluateAsync(1.0).join();
+            evaluator.evaluateAsync(1.0).join();
+            System.out.printf("Кэш через вычислитель: попаданий: %d, промахов: %d%n", cached.getHitCount(), cached.getMissCount());
+        }
+
+        // После прерывания рабочего потока запросы завершаются с ошибкой, а не зависают
+        Thread[] workerThread = new Thread[1];
+        try (BatchingFunctionEvaluator evaluator = new BatchingFunctionEvaluator(func, 256, 50, runnable -> {
+            workerThread[0] = new Thread(runnable);
+            return workerThread[0];
+        })) {
+            workerThread[0].interrupt();
+            workerThread[0].join();
+            try {
+                evaluator.evaluateAsync(1.0).get(1, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                System.out.println("Ожидаемая ошибка после прерывания: " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    // Запускает каждого клиента в отдельном виртуальном потоке и ждет завершения всех
+    private static void runClients(int clients, Runnable client) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(client);
+            }
+        }
+    }
+
+    private static void testLazyFunction() {
+        // f(x) = x на [0, 4] (5 точек), g(x) = x^2 на [1, 5] (3 точки)
+        ArrayTabulatedFunction f = new ArrayTabulatedFunction(0, 4, new double[]{0, 1, 2, 3, 4});
+        LinkedListTabulatedFunction g = new LinkedListTabulatedFunction(1, 5, new double[]{1, 9, 25});
+
+        // 2 * (f + g) * f, без промежуточных таблиц
+        LazyFunction expression = LazyFunction.of(f).add(g).scale(2).multiply(f);
+        System.out.printf("Область определения: [%.1f; %.1f]%n",
+                expression.getLeftDomainBorder(), expression.getRightDomainBorder());
+        System.out.printf("Ленивое значение в x=2.5: %.4f%n", expression.getFunctionValue(2.5));
+
+        ArrayTabulatedFunction result = expression.materialize();
+        System.out.println("Материализованная функция (объединенная сетка):");
+        for (int i = 0; i < result.getPointsCount(); i++) {
+            System.out.printf("Точка %d: (%.3f; %.3f)%n", i, result.getPointX(i), result.getPointY(i));
+        }
+
+        // Композиция f(g(x)): g выходит за [0, 4] при x > 2, область определения сужается до [1, 2]
+        LazyFunction composition = LazyFunction.of(f).compose(g);
+        ArrayTabulatedFunction materialized = composition.materialize();
+        System.out.printf("f(g(x)) на [%.2f; %.2f]:%n", composition.getLeftDomainBorder(), composition.getRightDomainBorder());
+        for (int i = 0; i < materialized.getPointsCount(); i++) {
+            System.out.printf("Точка %d: (%.3f; %.3f)%n", i, materialized.getPointX(i), materialized.getPointY(i));
+        }
+        System.out.printf("Ленивое f(g(1.5)) = %.4f, материализованное = %.4f%n",
+                composition.getFunctionValue(1.5), materialized.getFunctionValue(1.5));
+
+        // Излом внешней функции сохраняется при грубой сетке внутренней: |x - 2| на [0, 4], h(x) = x на [0, 4] (2 точки)
+        ArrayTabulatedFunction kink = new ArrayTabulatedFunction(0, 4, new double[]{2, 1, 0, 1, 2});
+        ArrayTabulatedFunction identity = new ArrayTabulatedFunction(0, 4, new double[]{0, 4});
+        ArrayTabulatedFunction kinkMaterialized = LazyFunction.of(kink).compose(identity).materialize();
+        System.out.printf("Узлов в |x - 2| после композиции: %d, значение в x=2: %.4f%n",
+                kinkMaterialized.getPointsCount(), kinkMaterialized.getFunctionValue(2));
+    }
+
+    private static void testCubicSpline() throws InappropriateFunctionPointException {
+        // y = sin(x) на [0, pi]: линейная интерполяция на 64 точках против сплайна на 12 точках
+        ArrayTabulatedFunction linear = new ArrayTabulatedFunction(0, Math.PI, sinValues(64));
+        CubicSplineTabulatedFunction spline = new CubicSplineTabulatedFunction(0, Math.PI, sinValues(12));
+
+        System.out.printf("Линейная, %d точек: макс. ошибка %.2e%n", linear.getPointsCount(), maxSinError(linear));
+        System.out.printf("Сплайн, %d точек: макс. ошибка %.2e%n", spline.getPointsCount(), maxSinError(spline));
+
+        // После добавления точки коэффициенты пересчитываются при следующем вычислении
+        spline.addPoint(new FunctionPoint(1.0, Math.sin(1.0)));
+        System.out.printf("Сплайн, %d точек: макс. ошибка %.2e%n", spline.getPointsCount(), maxSinError(spline));
+    }
+
+    private static double[] sinValues(int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.sin(Math.PI * i / (count - 1));
+        }
+        return values;
+    }
+
+    private static double maxSinError(TabulatedFunction func) {
+        double maxError = 0;
+        for (int i = 0; i <= 1000; i++) {
+            double x = Math.PI * i / 1000;
+            maxError = Math.max(maxError, Math.abs(func.getFunctionValue(x) - Math.sin(x)));
+        }
+        return maxError;
+    }
+
+    private static void testFunction2D() {
+        // f(x, y) = x * y на равномерной сетке [0, 4] x [0, 2]
+        ArrayTabulatedFunction2D func = new ArrayTabulatedFunction2D(0, 4, 5, 0, 2, 3);
+        for (int j = 0; j < func.getYCount(); j++) {
+            for (int i = 0; i < func.getXCount(); i++) {
+                func.setValue(i, j, func.getPointX(i) * func.getPointY(j));
+            }
+        }
+
+        double[] x = {0.5, 2.0, 3.5, 4.0, 5.0};
+        double[] y = {0.5, 1.0, 1.5, 2.0, 1.0};
+        double[] values = func.getFunctionValues(x, y);
+        for (int k = 0; k < x.length; k++) {
+            System.out.printf("f(%.1f; %.1f) = %s%n", x[k], y[k],
+                    Double.isNaN(values[k]) ? "NaN (вне области определения)" : String.format("%.4f", values[k]));
+        }
+
+        // Неравномерная ось: поиск ячейки двоичным поиском
+        try {
+            func.setPointX(1, 0.5);
+            func.setValue(1, 1, 0.5);
+            System.out.printf("После сдвига узла: f(0.5; 1.0) = %.4f%n", func.getFunctionValue(0.5, 1.0));
+            func.setPointX(1, 3.0);
+        } catch (InappropriateFunctionPointException e) {
+            System.out.println("Ожидаемая ошибка: " + e.getMessage());
+        }
+
+        try {
+            func.getValue(5, 0);
+        } catch (FunctionPointIndexOutOfBoundsException e) {
+            System.out.println("Ожидаемая ошибка: " + e.getMessage());
+        }
+    }
+
     private static void testPerformance(TabulatedFunction func) {
         int iterations = 10000;
 
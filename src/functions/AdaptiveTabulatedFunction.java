@@ -0,0 +1,260 @@
+package functions;
+
+public class AdaptiveTabulatedFunction implements TabulatedFunction {
+    // Слушатель переключений реализации
+    public interface SwitchListener {
+        void implementationSwitched(Class<? extends TabulatedFunction> from,
+                                    Class<? extends TabulatedFunction> to,
+                                    long reads, long writes);
+    }
+
+    // Размер окна наблюдения (количество операций)
+    private static final int WINDOW_SIZE = 1024;
+    // Время замеряется у каждой восьмой операции
+    private static final int SAMPLE_MASK = 7;
+    // Другая реализация должна быть дешевле хотя бы на эту долю
+    private static final double SWITCH_MARGIN = 0.25;
+    // Пока стоимость другой реализации не измерена, пробуем её по доле изменений
+    private static final double WRITE_HEAVY_RATIO = 0.5;
+    private static final double READ_HEAVY_RATIO = 0.1;
+    // Сколько окон подряд должно подтвердить решение (гистерезис)
+    private static final int STABLE_WINDOWS = 2;
+    // Через сколько окон без переключений замеры другой реализации считаются устаревшими
+    private static final int COST_TTL_WINDOWS = 64;
+
+    private static final int ARRAY = 0;
+    private static final int LIST = 1;
+
+    private TabulatedFunction storage;
+    private SwitchListener listener;
+
+    // Стоимость операций (нс) в последнем окне каждой реализации; NaN - еще не измерена
+    private final double[] readCost = {Double.NaN, Double.NaN};
+    private final double[] writeCost = {Double.NaN, Double.NaN};
+    // Количество точек на момент замера
+    private final int[] measuredSize = new int[2];
+
+    // Счетчики текущего окна
+    private long reads;
+    private long writes;
+    private long readNanos;
+    private long readSamples;
+    private long writeNanos;
+    private long writeSamples;
+
+    // Замер текущей операции
+    private long operations;
+    private boolean sampled;
+    private long sampleStart;
+
+    // Количество окон подряд, голосующих за смену реализации
+    private int votesForSwitch;
+    private int windowsSinceSwitch;
+    private int switchCount;
+    // Собственный счетчик изменений: хранилище заменяется при миграции
+    private long modificationCount;
+
+    public AdaptiveTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this.storage = new ArrayTabulatedFunction(leftX, rightX, pointsCount);
+    }
+
+    public AdaptiveTabulatedFunction(double leftX, double rightX, double[] values) {
+        this.storage = new ArrayTabulatedFunction(leftX, rightX, values);
+    }
+
+    public AdaptiveTabulatedFunction(FunctionPoint[] points) {
+        this.storage = new ArrayTabulatedFunction(points);
+    }
+
+    public void setSwitchListener(SwitchListener listener) {
+        this.listener = listener;
+    }
+
+    // Текущая реализация хранилища
+    public Class<? extends TabulatedFunction> getImplementation() {
+        return storage.getClass();
+    }
+
+    public int getSwitchCount() {
+        return switchCount;
+    }
+
+    private void beginOperation() {
+        sampled = (++operations & SAMPLE_MASK) == 0;
+        if (sampled) {
+            sampleStart = System.nanoTime();
+        }
+    }
+
+    // Чтение и позиционный доступ
+    private void countRead() {
+        if (sampled) {
+            readNanos += System.nanoTime() - sampleStart;
+            readSamples++;
+        }
+        reads++;
+        checkWindow();
+    }
+
+    // Добавление и удаление точек
+    private void countWrite() {
+        if (sampled) {
+            writeNanos += System.nanoTime() - sampleStart;
+            writeSamples++;
+        }
+        writes++;
+        checkWindow();
+    }
+
+    private static double measure(double previous, long nanos, long samples) {
+        return samples == 0 ? previous : (double) nanos / samples;
+    }
+
+    // Ожидаемая стоимость окна в реализации impl; NaN, если нужные замеры отсутствуют.
+    // Замеры, сделанные при другом количестве точек, масштабируются линейно
+    private double estimateCost(int impl) {
+        double cost = 0;
+        if (reads > 0) {
+            cost += reads * readCost[impl];
+        }
+        if (writes > 0) {
+            cost += writes * writeCost[impl];
+        }
+        return cost * storage.getPointsCount() / measuredSize[impl];
+    }
+
+    private void checkWindow() {
+        if (reads + writes < WINDOW_SIZE) {
+            return;
+        }
+
+        int current = storage instanceof ArrayTabulatedFunction ? ARRAY : LIST;
+        int other = 1 - current;
+        readCost[current] = measure(readCost[current], readNanos, readSamples);
+        writeCost[current] = measure(writeCost[current], writeNanos, writeSamples);
+        measuredSize[current] = storage.getPointsCount();
+
+        if (++windowsSinceSwitch > COST_TTL_WINDOWS) {
+            readCost[other] = Double.NaN;
+            writeCost[other] = Double.NaN;
+        }
+
+        double currentCost = estimateCost(current);
+        double otherCost = estimateCost(other);
+        boolean preferOther;
+        if (Double.isNaN(otherCost)) {
+            double writeRatio = (double) writes / (reads + writes);
+            preferOther = current == ARRAY ? writeRatio > WRITE_HEAVY_RATIO : writeRatio < READ_HEAVY_RATIO;
+        } else {
+            preferOther = !Double.isNaN(currentCost) && otherCost < currentCost * (1 - SWITCH_MARGIN);
+        }
+
+        votesForSwitch = preferOther ? votesForSwitch + 1 : 0;
+        if (votesForSwitch >= STABLE_WINDOWS) {
+            migrate(other == ARRAY);
+            votesForSwitch = 0;
+            windowsSinceSwitch = 0;
+        }
+
+        reads = 0;
+        writes = 0;
+        readNanos = 0;
+        readSamples = 0;
+        writeNanos = 0;
+        writeSamples = 0;
+    }
+
+    private void migrate(boolean toArray) {
+        FunctionPoint[] points = new FunctionPoint[storage.getPointsCount()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = storage.getPoint(i);
+        }
+
+        Class<? extends TabulatedFunction> from = storage.getClass();
+        storage = toArray ? new ArrayTabulatedFunction(points) : new LinkedListTabulatedFunction(points);
+        switchCount++;
+
+        if (listener != null) {
+            listener.implementationSwitched(from, storage.getClass(), reads, writes);
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return storage.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return storage.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        beginOperation();
+        double value = storage.getFunctionValue(x);
+        countRead();
+        return value;
+    }
+
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public int getPointsCount() {
+        return storage.getPointsCount();
+    }
+
+    public FunctionPoint getPoint(int index) {
+        beginOperation();
+        FunctionPoint point = storage.getPoint(index);
+        countRead();
+        return point;
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        beginOperation();
+        storage.setPoint(index, point);
+        modificationCount++;
+        countRead();
+    }
+
+    public double getPointX(int index) {
+        beginOperation();
+        double x = storage.getPointX(index);
+        countRead();
+        return x;
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        beginOperation();
+        storage.setPointX(index, x);
+        modificationCount++;
+        countRead();
+    }
+
+    public double getPointY(int index) {
+        beginOperation();
+        double y = storage.getPointY(index);
+        countRead();
+        return y;
+    }
+
+    public void setPointY(int index, double y) {
+        beginOperation();
+        storage.setPointY(index, y);
+        modificationCount++;
+        countRead();
+    }
+
+    public void deletePoint(int index) {
+        beginOperation();
+        storage.deletePoint(index);
+        modificationCount++;
+        countWrite();
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        beginOperation();
+        storage.addPoint(point);
+        modificationCount++;
+        countWrite();
+    }
+}
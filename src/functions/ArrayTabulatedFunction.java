@@ -1,8 +1,9 @@
 package functions;
 
-public class ArrayTabulatedFunction implements TabulatedFunction {
+public class ArrayTabulatedFunction implements TabulatedFunction, SortedBatchEvaluation {
     private FunctionPoint[] points;
     private int pointsCount;
+    private long modificationCount;
     private static final int INITIAL_CAPACITY = 10;
     private static final double EPSILON = 1e-9; // Машинный эпсилон
 
@@ -45,6 +46,25 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
     }
 
+    // Конструктор по массиву точек (используется при копировании)
+    public ArrayTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше двух");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX() + EPSILON) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+
+        this.pointsCount = points.length;
+        this.points = new FunctionPoint[Math.max(points.length * 2, INITIAL_CAPACITY)];
+
+        for (int i = 0; i < points.length; i++) {
+            this.points[i] = new FunctionPoint(points[i]);
+        }
+    }
+
     // Вспомогательный метод для проверки индекса
     private void checkIndex(int index) {
         if (index < 0 || index >= pointsCount) {
@@ -67,29 +87,55 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
 
         for (int i = 0; i < pointsCount - 1; i++) {
-            double x1 = points[i].getX();
-            double x2 = points[i + 1].getX();
+            if (x >= points[i].getX() - EPSILON && x <= points[i + 1].getX() + EPSILON) {
+                return valueOnSegment(i, x);
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    // Значение на отрезке [points[i], points[i + 1]]
+    private double valueOnSegment(int i, double x) {
+        double x1 = points[i].getX();
+        double x2 = points[i + 1].getX();
+
+        if (Math.abs(x1 - x2) < EPSILON) {
+            return points[i].getY();
+        }
+
+        double y1 = points[i].getY();
+        double y2 = points[i + 1].getY();
 
-            if (x >= x1 - EPSILON && x <= x2 + EPSILON) {
-                if (Math.abs(x1 - x2) < EPSILON) {
-                    return points[i].getY();
-                }
+        if (Math.abs(x - x1) < EPSILON) {
+            return y1;
+        }
+        if (Math.abs(x - x2) < EPSILON) {
+            return y2;
+        }
 
-                double y1 = points[i].getY();
-                double y2 = points[i + 1].getY();
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
 
-                if (Math.abs(x - x1) < EPSILON) {
-                    return y1;
-                }
-                if (Math.abs(x - x2) < EPSILON) {
-                    return y2;
-                }
+    // Один проход по отрезкам для упорядоченных точек
+    public void getSortedFunctionValues(double[] sortedX, double[] result, int count) {
+        int i = 0;
+        for (int k = 0; k < count; k++) {
+            double x = sortedX[k];
+            if (Double.isNaN(x) || x < getLeftDomainBorder() - EPSILON || x > getRightDomainBorder() + EPSILON) {
+                result[k] = Double.NaN;
+                continue;
+            }
 
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+            while (i < pointsCount - 2 && x > points[i + 1].getX() + EPSILON) {
+                i++;
             }
+            result[k] = valueOnSegment(i, x);
         }
+    }
 
-        return Double.NaN;
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     // Методы работы с точками с проверками FunctionPointIndexOutOfBoundsException
@@ -114,6 +160,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
 
         points[index] = new FunctionPoint(point);
+        modificationCount++;
     }
 
     public double getPointX(int index) {
@@ -133,6 +180,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
 
         points[index].setX(x);
+        modificationCount++;
     }
 
     public double getPointY(int index) {
@@ -143,6 +191,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
     public void setPointY(int index, double y) {
         checkIndex(index);
         points[index].setY(y);
+        modificationCount++;
     }
 
     // Методы изменения количества точек
@@ -157,6 +206,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         System.arraycopy(points, index + 1, points, index, pointsCount - index - 1);
         pointsCount--;
         points[pointsCount] = null;
+        modificationCount++;
     }
 
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
@@ -182,5 +232,6 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
 
         points[insertIndex] = new FunctionPoint(point);
         pointsCount++;
+        modificationCount++;
     }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package functions;
+
+public class ArrayTabulatedFunction2D {
+    private static final double EPSILON = 1e-9;
+
+    // Узлы сетки по осям
+    private final double[] xs;
+    private final double[] ys;
+    // Значения построчно: values[j * xs.length + i] = f(xs[i], ys[j])
+    private final double[] values;
+
+    // Равномерность осей позволяет находить ячейку за O(1)
+    private boolean uniformX;
+    private boolean uniformY;
+
+    public ArrayTabulatedFunction2D(double leftX, double rightX, int xCount,
+                                    double leftY, double rightY, int yCount) {
+        this(uniformAxis(leftX, rightX, xCount), uniformAxis(leftY, rightY, yCount),
+                new double[Math.max(xCount, 0) * Math.max(yCount, 0)]);
+    }
+
+    public ArrayTabulatedFunction2D(double[] xs, double[] ys, double[] values) {
+        checkAxis(xs);
+        checkAxis(ys);
+        if (values.length != xs.length * ys.length) {
+            throw new IllegalArgumentException("Количество значений должно быть равно " + xs.length * ys.length);
+        }
+
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+        this.values = values.clone();
+        this.uniformX = isUniform(this.xs);
+        this.uniformY = isUniform(this.ys);
+    }
+
+    private static double[] uniformAxis(double left, double right, int count) {
+        if (left >= right) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше двух");
+        }
+
+        double[] axis = new double[count];
+        double step = (right - left) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            axis[i] = left + i * step;
+        }
+        return axis;
+    }
+
+    private static void checkAxis(double[] axis) {
+        if (axis.length < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше двух");
+        }
+        for (int i = 1; i < axis.length; i++) {
+            if (axis[i] <= axis[i - 1] + EPSILON) {
+                throw new IllegalArgumentException("Узлы сетки должны быть упорядочены по возрастанию");
+            }
+        }
+    }
+
+    private static boolean isUniform(double[] axis) {
+        double step = (axis[axis.length - 1] - axis[0]) / (axis.length - 1);
+        for (int i = 1; i < axis.length; i++) {
+            if (Math.abs(axis[i] - axis[i - 1] - step) > EPSILON * Math.max(1, Math.abs(step))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Индекс ячейки [axis[i], axis[i + 1]], содержащей значение
+    private static int findCell(double[] axis, boolean uniform, double value) {
+        int last = axis.length - 2;
+        if (uniform) {
+            double step = (axis[last + 1] - axis[0]) / (last + 1);
+            int i = (int) ((value - axis[0]) / step);
+            return Math.max(0, Math.min(i, last));
+        }
+
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (axis[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Вспомогательные методы для проверки индексов
+    private void checkIndexX(int i) {
+        if (i < 0 || i >= xs.length) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + i + " вне диапазона узлов X [0, " + (xs.length - 1) + "]");
+        }
+    }
+
+    private void checkIndexY(int j) {
+        if (j < 0 || j >= ys.length) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + j + " вне диапазона узлов Y [0, " + (ys.length - 1) + "]");
+        }
+    }
+
+    // Методы области определения
+    public double getLeftDomainBorderX() {
+        return xs[0];
+    }
+
+    public double getRightDomainBorderX() {
+        return xs[xs.length - 1];
+    }
+
+    public double getLeftDomainBorderY() {
+        return ys[0];
+    }
+
+    public double getRightDomainBorderY() {
+        return ys[ys.length - 1];
+    }
+
+    // Билинейная интерполяция; вне области определения - NaN
+    public double getFunctionValue(double x, double y) {
+        if (x < getLeftDomainBorderX() - EPSILON || x > getRightDomainBorderX() + EPSILON
+                || y < getLeftDomainBorderY() - EPSILON || y > getRightDomainBorderY() + EPSILON) {
+            return Double.NaN;
+        }
+
+        int i = findCell(xs, uniformX, x);
+        int j = findCell(ys, uniformY, y);
+
+        double tx = (x - xs[i]) / (xs[i + 1] - xs[i]);
+        double ty = (y - ys[j]) / (ys[j + 1] - ys[j]);
+
+        int row = j * xs.length + i;
+        double f00 = values[row];
+        double f10 = values[row + 1];
+        double f01 = values[row + xs.length];
+        double f11 = values[row + xs.length + 1];
+
+        double bottom = f00 + (f10 - f00) * tx;
+        double top = f01 + (f11 - f01) * tx;
+        return bottom + (top - bottom) * ty;
+    }
+
+    // Пакетное вычисление в точках (x[k], y[k])
+    public double[] getFunctionValues(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Массивы координат должны иметь одинаковую длину");
+        }
+
+        double[] result = new double[x.length];
+        for (int k = 0; k < x.length; k++) {
+            result[k] = getFunctionValue(x[k], y[k]);
+        }
+        return result;
+    }
+
+    // Методы работы с узлами
+    public int getXCount() {
+        return xs.length;
+    }
+
+    public int getYCount() {
+        return ys.length;
+    }
+
+    public double getPointX(int i) {
+        checkIndexX(i);
+        return xs[i];
+    }
+
+    public void setPointX(int i, double x) throws InappropriateFunctionPointException {
+        checkIndexX(i);
+
+        if (i > 0 && x <= xs[i - 1] + EPSILON) {
+            throw new InappropriateFunctionPointException("Координата X должна быть больше предыдущего узла");
+        }
+        if (i < xs.length - 1 && x >= xs[i + 1] - EPSILON) {
+            throw new InappropriateFunctionPointException("Координата X должна быть меньше следующего узла");
+        }
+
+        xs[i] = x;
+        uniformX = isUniform(xs);
+    }
+
+    public double getPointY(int j) {
+        checkIndexY(j);
+        return ys[j];
+    }
+
+    public void setPointY(int j, double y) throws InappropriateFunctionPointException {
+        checkIndexY(j);
+
+        if (j > 0 && y <= ys[j - 1] + EPSILON) {
+            throw new InappropriateFunctionPointException("Координата Y должна быть больше предыдущего узла");
+        }
+        if (j < ys.length - 1 && y >= ys[j + 1] - EPSILON) {
+            throw new InappropriateFunctionPointException("Координата Y должна быть меньше следующего узла");
+        }
+
+        ys[j] = y;
+        uniformY = isUniform(ys);
+    }
+
+    public double getValue(int i, int j) {
+        checkIndexX(i);
+        checkIndexY(j);
+        return values[j * xs.length + i];
+    }
+
+    public void setValue(int i, int j, double value) {
+        checkIndexX(i);
+        checkIndexY(j);
+        values[j * xs.length + i] = value;
+    }
+}
@@ -0,0 +1,226 @@
+package functions;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+public class BatchingFunctionEvaluator implements AutoCloseable {
+    private static class Request {
+        private final double x;
+        private final CompletableFuture<Double> future;
+
+        public Request(double x, CompletableFuture<Double> future) {
+            this.x = x;
+            this.future = future;
+        }
+    }
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    private static final long DEFAULT_MAX_DELAY_MICROS = 50;
+
+    // Маркер завершения работы
+    private static final Request SHUTDOWN = new Request(Double.NaN, null);
+
+    private final TabulatedFunction function;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    // Буферы пакета, используются только рабочим потоком
+    private final Request[] batch;
+    private final double[] batchX;
+    private final double[] batchResult;
+    private int batchSize;
+
+    public BatchingFunctionEvaluator(TabulatedFunction function) {
+        this(function, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MICROS);
+    }
+
+    public BatchingFunctionEvaluator(TabulatedFunction function, int maxBatchSize, long maxDelayMicros) {
+        this(function, maxBatchSize, maxDelayMicros, runnable -> {
+            Thread thread = new Thread(runnable, "batching-function-evaluator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Фабрика потоков задает поток, выполняющий пакеты (например, Thread.ofVirtual().factory())
+    public BatchingFunctionEvaluator(TabulatedFunction function, int maxBatchSize, long maxDelayMicros,
+                                     ThreadFactory threadFactory) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        if (maxDelayMicros < 0) {
+            throw new IllegalArgumentException("Задержка не может быть отрицательной");
+        }
+
+        this.function = function;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.batch = new Request[maxBatchSize];
+        this.batchX = new double[maxBatchSize];
+        this.batchResult = new double[maxBatchSize];
+        this.worker = threadFactory.newThread(this::run);
+        this.worker.start();
+    }
+
+    // Функция вычисляется только рабочим потоком; изменять её во время работы нельзя
+    public CompletableFuture<Double> evaluateAsync(double x) {
+        CompletableFuture<Double> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Вычислитель уже закрыт"));
+            return future;
+        }
+        Request request = new Request(x, future);
+        queue.add(request);
+
+        // Запрос мог попасть в очередь после завершения рабочего потока
+        if (closed && queue.remove(request)) {
+            future.completeExceptionally(new IllegalStateException("Вычислитель уже закрыт"));
+        }
+        return future;
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(SHUTDOWN);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            boolean running = true;
+            while (running) {
+                try {
+                    running = collectBatch();
+                } catch (InterruptedException e) {
+                    // Прерванный поток завершает работу, собранный пакет еще вычисляется
+                    running = false;
+                }
+
+                if (batchSize > 0) {
+                    evaluateBatch();
+                }
+            }
+        } finally {
+            // При любом завершении новые запросы отклоняются, а собранные и оставшиеся в очереди завершаются с ошибкой
+            closed = true;
+            for (int i = 0; i < batchSize; i++) {
+                batch[i].future.completeExceptionally(new IllegalStateException("Вычислитель уже закрыт"));
+                batch[i] = null;
+            }
+            batchSize = 0;
+            Request request;
+            while ((request = queue.poll()) != null) {
+                if (request != SHUTDOWN) {
+                    request.future.completeExceptionally(new IllegalStateException("Вычислитель уже закрыт"));
+                }
+            }
+        }
+    }
+
+    // Собирает до maxBatchSize запросов или ждет не дольше maxDelayNanos после первого
+    private boolean collectBatch() throws InterruptedException {
+        Request first = queue.take();
+        if (first == SHUTDOWN) {
+            return false;
+        }
+        batch[batchSize++] = first;
+
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batchSize < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            if (next == SHUTDOWN) {
+                return false;
+            }
+            batch[batchSize++] = next;
+        }
+        return true;
+    }
+
+    // Вычисляет пакет: один проход по отсортированным точкам, если функция это умеет, иначе по одной
+    private void evaluateBatch() {
+        int size = batchSize;
+        try {
+            if (function instanceof SortedBatchEvaluation) {
+                for (int i = 0; i < size; i++) {
+                    batchX[i] = batch[i].x;
+                }
+                sort(batchX, batch, size);
+                ((SortedBatchEvaluation) function).getSortedFunctionValues(batchX, batchResult, size);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    batchResult[i] = function.getFunctionValue(batch[i].x);
+                }
+            }
+
+            for (int i = 0; i < size; i++) {
+                batch[i].future.complete(batchResult[i]);
+            }
+        } catch (Throwable e) {
+            // Ошибка функции (в том числе Error) завершает запросы пакета, а не рабочий поток
+            for (int i = 0; i < size; i++) {
+                batch[i].future.completeExceptionally(e);
+            }
+        } finally {
+            for (int i = 0; i < size; i++) {
+                batch[i] = null;
+            }
+            batchSize = 0;
+        }
+    }
+
+    // Пирамидальная сортировка по x с перестановкой запросов; NaN оказываются в конце
+    private static void sort(double[] keys, Request[] requests, int size) {
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(keys, requests, i, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(keys, requests, 0, end);
+            siftDown(keys, requests, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] keys, Request[] requests, int i, int size) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && Double.compare(keys[left], keys[largest]) > 0) {
+                largest = left;
+            }
+            if (right < size && Double.compare(keys[right], keys[largest]) > 0) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            swap(keys, requests, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swap(double[] keys, Request[] requests, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        Request request = requests[i];
+        requests[i] = requests[j];
+        requests[j] = request;
+    }
+}
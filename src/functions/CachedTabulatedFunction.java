@@ -0,0 +1,149 @@
+package functions;
+
+public class CachedTabulatedFunction implements TabulatedFunction {
+    private static final int DEFAULT_CAPACITY = 64;
+    // Сколько соседних ячеек просматривается при коллизии
+    private static final int MAX_PROBES = 4;
+
+    private final TabulatedFunction function;
+
+    // Открытая адресация: ключ - биты x, значение - f(x), метка - версия функции на момент записи
+    private final long[] keys;
+    private final double[] values;
+    private final long[] stamps;
+    private final int mask;
+
+    // Число ручных сбросов; версия = счетчик изменений функции + сбросы + 1 (0 - пустая ячейка)
+    private long invalidations;
+
+    private long hits;
+    private long misses;
+
+    public CachedTabulatedFunction(TabulatedFunction function) {
+        this(function, DEFAULT_CAPACITY);
+    }
+
+    public CachedTabulatedFunction(TabulatedFunction function, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным");
+        }
+
+        // Округляем размер до степени двойки
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.function = function;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.stamps = new long[size];
+        this.mask = size - 1;
+    }
+
+    private int hash(long bits) {
+        long h = bits * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // Изменения функции видны через её счетчик, даже если они сделаны в обход кэша
+    private long currentVersion() {
+        return function.getModificationCount() + invalidations + 1;
+    }
+
+    public double getFunctionValue(double x) {
+        long version = currentVersion();
+        long bits = Double.doubleToLongBits(x);
+        int home = hash(bits);
+
+        // Ищем x среди действительных записей, запоминая первую свободную ячейку
+        int free = -1;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (stamps[slot] != version) {
+                if (free < 0) {
+                    free = slot;
+                }
+            } else if (keys[slot] == bits) {
+                hits++;
+                return values[slot];
+            }
+        }
+
+        misses++;
+        double value = function.getFunctionValue(x);
+
+        // Если свободной ячейки нет, вытесняем запись в исходной позиции
+        int slot = free >= 0 ? free : home;
+        keys[slot] = bits;
+        values[slot] = value;
+        stamps[slot] = version;
+        return value;
+    }
+
+    // Сброс всех записей за O(1)
+    public void invalidate() {
+        invalidations++;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    public long getModificationCount() {
+        return function.getModificationCount();
+    }
+
+    public int getPointsCount() {
+        return function.getPointsCount();
+    }
+
+    public FunctionPoint getPoint(int index) {
+        return function.getPoint(index);
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        function.setPoint(index, point);
+    }
+
+    public double getPointX(int index) {
+        return function.getPointX(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        function.setPointX(index, x);
+    }
+
+    public double getPointY(int index) {
+        return function.getPointY(index);
+    }
+
+    public void setPointY(int index, double y) {
+        function.setPointY(index, y);
+    }
+
+    public void deletePoint(int index) {
+        function.deletePoint(index);
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        function.addPoint(point);
+    }
+}
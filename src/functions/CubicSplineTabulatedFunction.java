@@ -0,0 +1,244 @@
+package functions;
+
+public class CubicSplineTabulatedFunction implements TabulatedFunction {
+    private static final int INITIAL_CAPACITY = 10;
+    private static final double EPSILON = 1e-9;
+
+    // Координаты точек
+    private double[] xs;
+    private double[] ys;
+    private int pointsCount;
+
+    // Коэффициенты естественного сплайна на отрезке i:
+    // S(x) = ys[i] + dx * (b[i] + dx * (c[i] + dx * d[i])), dx = x - xs[i]
+    private double[] b;
+    private double[] c;
+    private double[] d;
+    private boolean coefficientsValid;
+    private long modificationCount;
+
+    public CubicSplineTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[Math.max(pointsCount, 0)]);
+    }
+
+    public CubicSplineTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой");
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше двух");
+        }
+
+        allocate(values.length);
+        this.pointsCount = values.length;
+
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            xs[i] = leftX + i * step;
+            ys[i] = values[i];
+        }
+    }
+
+    public CubicSplineTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше двух");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX() + EPSILON) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+
+        allocate(points.length);
+        this.pointsCount = points.length;
+
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+    }
+
+    private void allocate(int count) {
+        int capacity = Math.max(count * 2, INITIAL_CAPACITY);
+        xs = new double[capacity];
+        ys = new double[capacity];
+        b = new double[capacity];
+        c = new double[capacity];
+        d = new double[capacity];
+    }
+
+    // Вспомогательный метод для проверки индекса
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " вне диапазона точек [0, " + (pointsCount - 1) + "]");
+        }
+    }
+
+    // Пересчет коэффициентов методом прогонки за O(n); массивы b и d временно хранят прогоночные коэффициенты
+    private void computeCoefficients() {
+        int n = pointsCount;
+
+        // Прямой ход: d[i] - коэффициент mu, b[i] - коэффициент z
+        d[0] = 0;
+        b[0] = 0;
+        for (int i = 1; i < n - 1; i++) {
+            double h0 = xs[i] - xs[i - 1];
+            double h1 = xs[i + 1] - xs[i];
+            double alpha = 3 * ((ys[i + 1] - ys[i]) / h1 - (ys[i] - ys[i - 1]) / h0);
+            double l = 2 * (xs[i + 1] - xs[i - 1]) - h0 * d[i - 1];
+            d[i] = h1 / l;
+            b[i] = (alpha - h0 * b[i - 1]) / l;
+        }
+
+        // Обратный ход с естественными граничными условиями c[0] = c[n - 1] = 0
+        c[n - 1] = 0;
+        for (int i = n - 2; i >= 0; i--) {
+            double h = xs[i + 1] - xs[i];
+            c[i] = b[i] - d[i] * c[i + 1];
+            b[i] = (ys[i + 1] - ys[i]) / h - h * (c[i + 1] + 2 * c[i]) / 3;
+            d[i] = (c[i + 1] - c[i]) / (3 * h);
+        }
+
+        coefficientsValid = true;
+    }
+
+    // Индекс отрезка [xs[i], xs[i + 1]], содержащего x
+    private int findSegment(double x) {
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    public double getRightDomainBorder() {
+        return xs[pointsCount - 1];
+    }
+
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() - EPSILON || x > getRightDomainBorder() + EPSILON) {
+            return Double.NaN;
+        }
+        if (!coefficientsValid) {
+            computeCoefficients();
+        }
+
+        int i = findSegment(x);
+        double dx = x - xs[i];
+        return ys[i] + dx * (b[i] + dx * (c[i] + dx * d[i]));
+    }
+
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        setPointX(index, point.getX());
+        ys[index] = point.getY();
+        modificationCount++;
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+
+        if (index > 0 && x <= xs[index - 1] + EPSILON) {
+            throw new InappropriateFunctionPointException("Координата X должна быть больше предыдущей точки");
+        }
+        if (index < pointsCount - 1 && x >= xs[index + 1] - EPSILON) {
+            throw new InappropriateFunctionPointException("Координата X должна быть меньше следующей точки");
+        }
+
+        xs[index] = x;
+        coefficientsValid = false;
+        modificationCount++;
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        ys[index] = y;
+        coefficientsValid = false;
+        modificationCount++;
+    }
+
+    public void deletePoint(int index) {
+        checkIndex(index);
+
+        if (pointsCount <= 2) {
+            throw new IllegalStateException("Нельзя удалить точку - останется меньше двух точек");
+        }
+
+        System.arraycopy(xs, index + 1, xs, index, pointsCount - index - 1);
+        System.arraycopy(ys, index + 1, ys, index, pointsCount - index - 1);
+        pointsCount--;
+        coefficientsValid = false;
+        modificationCount++;
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        // Двоичный поиск позиции вставки
+        int low = 0;
+        int high = pointsCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] < x - EPSILON) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low < pointsCount && Math.abs(xs[low] - x) < EPSILON) {
+            throw new InappropriateFunctionPointException("Точка с X=" + x + " уже существует");
+        }
+
+        if (pointsCount == xs.length) {
+            double[] newXs = new double[xs.length * 2];
+            double[] newYs = new double[xs.length * 2];
+            System.arraycopy(xs, 0, newXs, 0, pointsCount);
+            System.arraycopy(ys, 0, newYs, 0, pointsCount);
+            xs = newXs;
+            ys = newYs;
+            b = new double[xs.length];
+            c = new double[xs.length];
+            d = new double[xs.length];
+        }
+
+        System.arraycopy(xs, low, xs, low + 1, pointsCount - low);
+        System.arraycopy(ys, low, ys, low + 1, pointsCount - low);
+        xs[low] = x;
+        ys[low] = point.getY();
+        pointsCount++;
+        coefficientsValid = false;
+        modificationCount++;
+    }
+}
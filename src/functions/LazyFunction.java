@@ -0,0 +1,397 @@
+package functions;
+
+public abstract class LazyFunction {
+    private static final double EPSILON = 1e-9;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Лист выражения - исходная табулированная функция (без копирования)
+    private static class Leaf extends LazyFunction {
+        private final TabulatedFunction function;
+        // Индекс, с которого начинается поиск узла; запросы обычно идут по возрастанию
+        private int hint;
+
+        public Leaf(TabulatedFunction function) {
+            this.function = function;
+        }
+
+        public double getFunctionValue(double x) {
+            return function.getFunctionValue(x);
+        }
+
+        double[] domain() {
+            return new double[]{function.getLeftDomainBorder(), function.getRightDomainBorder()};
+        }
+
+        // Линейные таблицы интерполируются на отрезке у курсора, остальные вычисляются сами
+        double valueAt(double x) {
+            if (!(function instanceof ArrayTabulatedFunction) && !(function instanceof LinkedListTabulatedFunction)) {
+                return function.getFunctionValue(x);
+            }
+            // Границы берутся без обращения по индексу, чтобы не сбивать курсор списка
+            if (Double.isNaN(x) || x < function.getLeftDomainBorder() - EPSILON || x > function.getRightDomainBorder() + EPSILON) {
+                return Double.NaN;
+            }
+
+            int count = function.getPointsCount();
+            int i = seek(x);
+            if (i == 0) {
+                return function.getPointY(0);
+            }
+            double x1 = function.getPointX(i - 1);
+            double y1 = function.getPointY(i - 1);
+            if (i == count || Math.abs(x - x1) < EPSILON) {
+                return y1;
+            }
+            double x2 = function.getPointX(i);
+            double y2 = function.getPointY(i);
+            return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+        }
+
+        // Сдвигает hint к первому узлу, большему x
+        private int seek(double x) {
+            int count = function.getPointsCount();
+            int i = Math.min(hint, count);
+            while (i > 0 && function.getPointX(i - 1) > x + EPSILON) {
+                i--;
+            }
+            while (i < count && function.getPointX(i) <= x + EPSILON) {
+                i++;
+            }
+            hint = i;
+            return i;
+        }
+
+        double nextNode(double x) {
+            int i = seek(x);
+            return i < function.getPointsCount() ? function.getPointX(i) : Double.POSITIVE_INFINITY;
+        }
+
+        double previousNode(double x) {
+            int i = seek(x - 2 * EPSILON);
+            while (i > 0 && function.getPointX(i - 1) >= x - EPSILON) {
+                i--;
+            }
+            return i > 0 ? function.getPointX(i - 1) : Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    private static class Sum extends LazyFunction {
+        private final LazyFunction left;
+        private final LazyFunction right;
+
+        public Sum(LazyFunction left, LazyFunction right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public double getFunctionValue(double x) {
+            return left.getFunctionValue(x) + right.getFunctionValue(x);
+        }
+
+        double[] domain() {
+            double[] a = left.domain();
+            double[] b = right.domain();
+            return new double[]{Math.max(a[0], b[0]), Math.min(a[1], b[1])};
+        }
+
+        double valueAt(double x) {
+            return left.valueAt(x) + right.valueAt(x);
+        }
+
+        double nextNode(double x) {
+            return Math.min(left.nextNode(x), right.nextNode(x));
+        }
+
+        double previousNode(double x) {
+            return Math.max(left.previousNode(x), right.previousNode(x));
+        }
+    }
+
+    private static class Product extends LazyFunction {
+        private final LazyFunction left;
+        private final LazyFunction right;
+
+        public Product(LazyFunction left, LazyFunction right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public double getFunctionValue(double x) {
+            return left.getFunctionValue(x) * right.getFunctionValue(x);
+        }
+
+        double[] domain() {
+            double[] a = left.domain();
+            double[] b = right.domain();
+            return new double[]{Math.max(a[0], b[0]), Math.min(a[1], b[1])};
+        }
+
+        double valueAt(double x) {
+            return left.valueAt(x) * right.valueAt(x);
+        }
+
+        double nextNode(double x) {
+            return Math.min(left.nextNode(x), right.nextNode(x));
+        }
+
+        double previousNode(double x) {
+            return Math.max(left.previousNode(x), right.previousNode(x));
+        }
+    }
+
+    private static class Scale extends LazyFunction {
+        private final LazyFunction function;
+        private final double factor;
+
+        public Scale(LazyFunction function, double factor) {
+            this.function = function;
+            this.factor = factor;
+        }
+
+        public double getFunctionValue(double x) {
+            return factor * function.getFunctionValue(x);
+        }
+
+        double[] domain() {
+            return function.domain();
+        }
+
+        double valueAt(double x) {
+            return factor * function.valueAt(x);
+        }
+
+        double nextNode(double x) {
+            return function.nextNode(x);
+        }
+
+        double previousNode(double x) {
+            return function.previousNode(x);
+        }
+    }
+
+    // outer(inner(x)); inner считается линейной между своими узлами
+    private static class Composition extends LazyFunction {
+        private final LazyFunction outer;
+        private final LazyFunction inner;
+
+        public Composition(LazyFunction outer, LazyFunction inner) {
+            this.outer = outer;
+            this.inner = inner;
+        }
+
+        public double getFunctionValue(double x) {
+            return outer.getFunctionValue(inner.getFunctionValue(x));
+        }
+
+        double valueAt(double x) {
+            return outer.valueAt(inner.valueAt(x));
+        }
+
+        // Отрезок, на котором значения inner лежат в области определения outer (один проход по узлам inner)
+        double[] domain() {
+            double[] outerDomain = outer.domain();
+            double[] innerDomain = inner.domain();
+            double low = outerDomain[0];
+            double high = outerDomain[1];
+            double right = innerDomain[1];
+
+            double start = Double.NaN;
+            double end = Double.NaN;
+            double x0 = innerDomain[0];
+            double g0 = inner.valueAt(x0);
+            while (x0 < right - EPSILON) {
+                double x1 = Math.min(inner.nextNode(x0), right);
+                if (!(x1 > x0)) {
+                    throw new IllegalStateException("Обход узлов внутренней функции остановился в точке X=" + x0);
+                }
+                double g1 = inner.valueAt(x1);
+
+                // Часть отрезка [x0, x1], где low <= g <= high
+                double tMin = 0;
+                double tMax = 1;
+                if (Math.abs(g1 - g0) < EPSILON) {
+                    if (g0 < low - EPSILON || g0 > high + EPSILON) {
+                        tMin = 1;
+                        tMax = 0;
+                    }
+                } else {
+                    double tLow = (low - g0) / (g1 - g0);
+                    double tHigh = (high - g0) / (g1 - g0);
+                    tMin = Math.max(0, Math.min(tLow, tHigh));
+                    tMax = Math.min(1, Math.max(tLow, tHigh));
+                }
+
+                if (tMin <= tMax) {
+                    double s = x0 + tMin * (x1 - x0);
+                    double e = x0 + tMax * (x1 - x0);
+                    if (Double.isNaN(start)) {
+                        start = s;
+                    } else if (s > end + EPSILON) {
+                        throw new IllegalStateException("Значения внутренней функции покидают область определения внешней и возвращаются в неё");
+                    }
+                    end = e;
+                }
+
+                x0 = x1;
+                g0 = g1;
+            }
+
+            if (Double.isNaN(start) || end - start < EPSILON) {
+                throw new IllegalStateException("Значения внутренней функции не попадают в область определения внешней");
+            }
+            return new double[]{start, end};
+        }
+
+        // Ближайший справа узел inner или прообраз узла outer на текущем отрезке inner
+        double nextNode(double x) {
+            double next = inner.nextNode(x);
+            if (next == Double.POSITIVE_INFINITY) {
+                return next;
+            }
+            double preimage = preimage(x, next);
+            return Double.isNaN(preimage) ? next : preimage;
+        }
+
+        double previousNode(double x) {
+            double previous = inner.previousNode(x);
+            if (previous == Double.NEGATIVE_INFINITY) {
+                return previous;
+            }
+            double preimage = preimage(x, previous);
+            return Double.isNaN(preimage) ? previous : preimage;
+        }
+
+        // Ближайший к from прообраз узла outer между from и to, отстоящий от обоих концов больше чем на EPSILON
+        // (inner линейна на этом участке); NaN, если его нет
+        private double preimage(double from, double to) {
+            double g0 = inner.valueAt(from);
+            double g1 = inner.valueAt(to);
+            if (Math.abs(g1 - g0) < EPSILON) {
+                return Double.NaN;
+            }
+
+            boolean rising = g1 > g0;
+            double node = g0;
+            while (true) {
+                double candidate = rising ? outer.nextNode(node) : outer.previousNode(node);
+                if (rising ? !(candidate > node) : !(candidate < node)) {
+                    return Double.NaN;
+                }
+                node = candidate;
+
+                double t = (node - g0) / (g1 - g0);
+                if (!(t < 1)) {
+                    return Double.NaN;
+                }
+                double preimage = from + t * (to - from);
+                if (Math.abs(preimage - to) <= EPSILON) {
+                    return Double.NaN;
+                }
+                // Прообраз, неотличимый от from (в том числе из-за округления), пропускаем
+                if (Math.abs(preimage - from) > EPSILON) {
+                    return preimage;
+                }
+            }
+        }
+    }
+
+    public static LazyFunction of(TabulatedFunction function) {
+        return new Leaf(function);
+    }
+
+    public abstract double getFunctionValue(double x);
+
+    public double getLeftDomainBorder() {
+        return domain()[0];
+    }
+
+    public double getRightDomainBorder() {
+        return domain()[1];
+    }
+
+    // Область определения {левая граница, правая граница}
+    abstract double[] domain();
+
+    // Значение при обходе слева направо: листья используют курсор вместо поиска от начала таблицы
+    abstract double valueAt(double x);
+
+    // Ближайший узел сетки выражения строго правее (левее) x
+    abstract double nextNode(double x);
+
+    abstract double previousNode(double x);
+
+    public LazyFunction add(LazyFunction other) {
+        return new Sum(this, other);
+    }
+
+    public LazyFunction add(TabulatedFunction other) {
+        return add(of(other));
+    }
+
+    public LazyFunction multiply(LazyFunction other) {
+        return new Product(this, other);
+    }
+
+    public LazyFunction multiply(TabulatedFunction other) {
+        return multiply(of(other));
+    }
+
+    public LazyFunction scale(double factor) {
+        return new Scale(this, factor);
+    }
+
+    // Композиция this(inner(x))
+    public LazyFunction compose(LazyFunction inner) {
+        return new Composition(this, inner);
+    }
+
+    public LazyFunction compose(TabulatedFunction inner) {
+        return compose(of(inner));
+    }
+
+    // Вычисляет выражение в узлах объединенной сетки операндов за один проход слева направо
+    public ArrayTabulatedFunction materialize() {
+        double[] domain = domain();
+        double left = domain[0];
+        double right = domain[1];
+        if (left >= right - EPSILON) {
+            throw new IllegalStateException("Области определения операндов не пересекаются");
+        }
+
+        FunctionPoint[] points = new FunctionPoint[INITIAL_CAPACITY];
+        int count = 0;
+        double x = left;
+        while (true) {
+            double y = valueAt(x);
+            if (Double.isNaN(y)) {
+                throw new IllegalStateException("Значение выражения в точке X=" + x + " не определено");
+            }
+
+            if (count == points.length) {
+                FunctionPoint[] newPoints = new FunctionPoint[points.length * 2];
+                System.arraycopy(points, 0, newPoints, 0, count);
+                points = newPoints;
+            }
+            points[count++] = new FunctionPoint(x, y);
+
+            if (x >= right) {
+                break;
+            }
+
+            // Узлы ближе EPSILON к предыдущему пропускаются, узел вблизи правой границы заменяется самой границей
+            double next = x;
+            do {
+                double node = nextNode(next);
+                if (!(node > next)) {
+                    throw new IllegalStateException("Обход узлов сетки остановился в точке X=" + next);
+                }
+                next = node;
+            } while (next <= x + EPSILON);
+            x = next >= right - EPSILON ? right : next;
+        }
+
+        FunctionPoint[] result = new FunctionPoint[count];
+        System.arraycopy(points, 0, result, 0, count);
+        return new ArrayTabulatedFunction(result);
+    }
+}
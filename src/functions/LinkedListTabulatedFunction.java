@@ -1,6 +1,6 @@
 package functions;
 
-public class LinkedListTabulatedFunction implements TabulatedFunction {
+public class LinkedListTabulatedFunction implements TabulatedFunction, SortedBatchEvaluation {
     private static class FunctionNode {
         private FunctionPoint point;
         private FunctionNode prev;
@@ -15,6 +15,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
     private int pointsCount;
     private FunctionNode lastAccessedNode;
     private int lastAccessedIndex;
+    private long modificationCount;
 
     private static final double EPSILON = 1e-10;
 
@@ -42,6 +43,33 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         initListWithValues(leftX, rightX, values);
     }
 
+    // Конструктор по массиву точек (используется при копировании)
+    public LinkedListTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше двух");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX() + EPSILON) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+
+        this.pointsCount = points.length;
+        head = new FunctionNode(null);
+        head.next = head;
+        head.prev = head;
+
+        FunctionNode current = head;
+        for (FunctionPoint point : points) {
+            FunctionNode newNode = new FunctionNode(new FunctionPoint(point));
+            insertNodeAfter(current, newNode);
+            current = newNode;
+        }
+
+        lastAccessedNode = head.next;
+        lastAccessedIndex = 0;
+    }
+
     private void initList(double leftX, double rightX, int pointsCount) {
         head = new FunctionNode(null);
         head.next = head;
@@ -201,6 +229,28 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
             current = current.next;
         }
 
+        return valueAt(current, x);
+    }
+
+    // Один проход по списку для упорядоченных точек
+    public void getSortedFunctionValues(double[] sortedX, double[] result, int count) {
+        FunctionNode current = head.next;
+        for (int k = 0; k < count; k++) {
+            double x = sortedX[k];
+            if (Double.isNaN(x) || x < getLeftDomainBorder() - EPSILON || x > getRightDomainBorder() + EPSILON) {
+                result[k] = Double.NaN;
+                continue;
+            }
+
+            while (current != head && current.point.getX() < x - EPSILON) {
+                current = current.next;
+            }
+            result[k] = valueAt(current, x);
+        }
+    }
+
+    // Значение в x, где current - первый узел с X не меньше x (или head)
+    private double valueAt(FunctionNode current, double x) {
         // Если x совпадает с существующей точкой
         if (current != head && Math.abs(current.point.getX() - x) < EPSILON) {
             return current.point.getY();
@@ -236,6 +286,10 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
     }
 
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     public int getPointsCount() {
         return pointsCount;
     }
@@ -257,6 +311,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         }
 
         node.point = new FunctionPoint(point);
+        modificationCount++;
     }
 
     public double getPointX(int index) {
@@ -275,6 +330,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         }
 
         node.point.setX(x);
+        modificationCount++;
     }
 
     public double getPointY(int index) {
@@ -283,32 +339,43 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
 
     public void setPointY(int index, double y) {
         getNodeByIndex(index).point.setY(y);
+        modificationCount++;
     }
 
     public void deletePoint(int index) {
         deleteNodeByIndex(index);
+        modificationCount++;
     }
 
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        // Проверка уникальности X
-        FunctionNode current = head.next;
-        while (current != head) {
-            if (Math.abs(current.point.getX() - point.getX()) < EPSILON) {
-                throw new InappropriateFunctionPointException("Точка с X=" + point.getX() + " уже существует");
+        double x = point.getX();
+
+        // Добавление в конец без обхода списка
+        FunctionNode current;
+        int insertIndex;
+        if (x > head.prev.point.getX() + EPSILON) {
+            current = head;
+            insertIndex = pointsCount;
+        } else {
+            // Один проход: поиск позиции вставки и проверка уникальности X
+            current = head.next;
+            insertIndex = 0;
+            while (current != head && current.point.getX() < x - EPSILON) {
+                current = current.next;
+                insertIndex++;
+            }
+            if (current != head && Math.abs(current.point.getX() - x) < EPSILON) {
+                throw new InappropriateFunctionPointException("Точка с X=" + x + " уже существует");
             }
-            current = current.next;
-        }
-
-        // Находим позицию для вставки
-        int insertIndex = 0;
-        current = head.next;
-        while (current != head && current.point.getX() < point.getX() - EPSILON) {
-            current = current.next;
-            insertIndex++;
         }
 
-        addNodeByIndex(insertIndex);
-        getNodeByIndex(insertIndex).point = new FunctionPoint(point);
+        // Вставка перед найденным узлом за O(1)
+        FunctionNode newNode = new FunctionNode(new FunctionPoint(point));
+        insertNodeAfter(current.prev, newNode);
+        pointsCount++;
+        lastAccessedNode = newNode;
+        lastAccessedIndex = insertIndex;
+        modificationCount++;
     }
 
     // Дополнительный метод для отладки - вывод всех точек
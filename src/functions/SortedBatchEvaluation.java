@@ -0,0 +1,7 @@
+package functions;
+
+// Необязательное расширение: вычисление значений в точках, упорядоченных по возрастанию, за один проход.
+// Результат должен совпадать с getFunctionValue для каждой точки; NaN-координаты стоят в конце
+public interface SortedBatchEvaluation {
+    void getSortedFunctionValues(double[] sortedX, double[] result, int count);
+}
@@ -36,4 +36,7 @@ public interface TabulatedFunction {
 
     // Правая граница области определения
     double getRightDomainBorder();
+
+    // Счетчик изменений: увеличивается при каждом изменении точек
+    long getModificationCount();
 }
\ No newline at end of file